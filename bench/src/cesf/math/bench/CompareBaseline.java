@@ -0,0 +1,158 @@
+package cesf.math.bench;
+
+import java.io.BufferedReader;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Compara dos resultats JMH en format CSV (<code>-rf csv</code>).
+ * <p>Per a cada benchmark (amb els mateixos par&agravemetres) mostra la puntuaci&oacute;
+ * de la l&iacute;nia base, la nova i la r&agrave;tio. Marca com a regressi&oacute; tota
+ * m&egrave;trica principal (o <code>gc.alloc.rate.norm</code>) que empitjori m&eacute;s
+ * del llindar (i, per a les reserves, de m&eacute;s d'1 B/op), i tot benchmark de
+ * la l&iacute;nia base que falti a l'execuci&oacute; nova. Acaba amb codi 1 si n'hi ha cap.</p>
+ * <pre>java -cp target/benchmarks.jar cesf.math.bench.CompareBaseline base.csv nou.csv [llindar%]</pre>
+ * @author Joan
+ */
+public class CompareBaseline {
+
+    /**
+     * Canvi m&iacute;nim (B/op) de <code>gc.alloc.rate.norm</code> per considerar-lo
+     * regressi&oacute;: per sota, &eacute;s soroll del profiler en benchmarks que no reserven.
+     */
+    private static final double ALLOC_FLOOR = 1.0;
+
+    /**
+     * Resultat d'una fila del CSV.
+     */
+    private static class Result {
+        String mode;
+        double score;
+        String unit;
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length < 2) {
+            System.err.println("Usage: CompareBaseline <baseline.csv> <current.csv> [threshold%]");
+            System.exit(2);
+        }
+        double threshold = args.length > 2 ? Double.parseDouble(args[2]) / 100.0 : 0.10;
+        Map<String, Result> base = read(args[0]);
+        Map<String, Result> current = read(args[1]);
+
+        int regressions = 0;
+        System.out.println(String.format("%-70s %14s %14s %8s", "Benchmark", "Baseline", "Current", "Ratio"));
+        for (Map.Entry<String, Result> e : current.entrySet()) {
+            Result now = e.getValue();
+            Result old = base.get(e.getKey());
+            if (old == null) {
+                System.out.println(String.format("%-70s %14s %14.3f %8s  (new)", e.getKey(), "-", now.score, "-"));
+                continue;
+            }
+            boolean secondary = e.getKey().indexOf(':') >= 0;
+            String mark = "";
+            if (isChecked(e.getKey())) {
+                boolean higherIsBetter = "thrpt".equals(now.mode) && !secondary;
+                double worse = higherIsBetter ? old.score - now.score : now.score - old.score;
+                double floor = secondary ? ALLOC_FLOOR : 0.0;
+                if (worse > floor && (old.score == 0 || worse > threshold * Math.abs(old.score))) {
+                    mark = "  REGRESSION";
+                    regressions++;
+                }
+            }
+            String ratio = old.score != 0 ? String.format("%8.3f", now.score / old.score) : "       -";
+            System.out.println(String.format("%-70s %14.3f %14.3f %s %s%s",
+                    e.getKey(), old.score, now.score, ratio, now.unit, mark));
+        }
+        // benchmarks de la línia base que ja no hi són (canvi de nom, esborrat o error)
+        int missing = 0;
+        for (Map.Entry<String, Result> e : base.entrySet()) {
+            if (current.containsKey(e.getKey()))
+                continue;
+            System.out.println(String.format("%-70s %14.3f %14s %8s %s  (missing)",
+                    e.getKey(), e.getValue().score, "-", "-", e.getValue().unit));
+            missing++;
+        }
+        System.out.println();
+        System.out.println(regressions + " regression(s) above " + Math.round(threshold * 100) + "%.");
+        System.out.println(missing + " benchmark(s) missing from the current run.");
+        if (regressions > 0 || missing > 0)
+            System.exit(1);
+    }
+
+    /**
+     * Nom&eacute;s es comproven les m&egrave;triques principals i les reserves per operaci&oacute;.
+     * @param key Se li pasa una clau de benchmark.
+     * @return Retorna un boolean.
+     */
+    private static boolean isChecked(String key) {
+        int colon = key.indexOf(':');
+        if (colon < 0)
+            return true;
+        return key.substring(colon).startsWith(":gc.alloc.rate.norm");
+    }
+
+    /**
+     * Llegeix un CSV de JMH. La clau &eacute;s el nom del benchmark seguit
+     * dels valors dels par&agravemetres.
+     * @param file Se li pasa un nom de fitxer.
+     * @return Retorna un mapa clau-resultat.
+     * @throws IOException si no es pot llegir el fitxer.
+     */
+    private static Map<String, Result> read(String file) throws IOException {
+        Map<String, Result> res = new LinkedHashMap<String, Result>();
+        BufferedReader in = new BufferedReader(new InputStreamReader(new FileInputStream(file), "UTF-8"));
+        try {
+            List<String> header = split(in.readLine());
+            int mode = header.indexOf("Benchmark") + 1;
+            int score = header.indexOf("Score");
+            int unit = header.indexOf("Unit");
+            String line;
+            while ((line = in.readLine()) != null) {
+                if (line.trim().isEmpty())
+                    continue;
+                List<String> f = split(line);
+                StringBuilder key = new StringBuilder(f.get(0));
+                for (int i = unit + 1; i < f.size(); i++)
+                    if (!f.get(i).isEmpty())
+                        key.append(' ').append(header.get(i).replace("Param: ", "")).append('=').append(f.get(i));
+                Result r = new Result();
+                r.mode = f.get(mode);
+                r.score = Double.parseDouble(f.get(score).replace(',', '.'));
+                r.unit = f.get(unit);
+                res.put(key.toString(), r);
+            }
+        } finally {
+            in.close();
+        }
+        return res;
+    }
+
+    /**
+     * Separa una l&iacute;nia CSV amb camps opcionalment entre cometes.
+     * @param line Se li pasa una l&iacute;nia.
+     * @return Retorna la llista de camps.
+     */
+    private static List<String> split(String line) {
+        List<String> fields = new ArrayList<String>();
+        StringBuilder cur = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (c == '"')
+                quoted = !quoted;
+            else if (c == ',' && !quoted) {
+                fields.add(cur.toString());
+                cur.setLength(0);
+            } else
+                cur.append(c);
+        }
+        fields.add(cur.toString());
+        return fields;
+    }
+}
@@ -0,0 +1,95 @@
+package cesf.math.bench;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import cesf.math.Complex;
+
+/**
+ * Benchmarks de nombres complexos.
+ * <p>Mesura el rendiment (operacions/us) de l'aritm&egrave;tica i de les
+ * funcions transcendents sobre un vector de complexos. Amb
+ * <code>-prof gc</code> tamb&eacute; en dona la taxa de reserva de mem&ograveria.</p>
+ * @author Joan
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class ComplexBenchmark {
+
+    @Param({ "1024" })
+    private int size;
+
+    private Complex[] z;
+
+    /**
+     * Crea els complexos amb una llavor fixa per poder comparar execucions.
+     */
+    @Setup
+    public void setup() {
+        Random r = new Random(42);
+        z = new Complex[size];
+        for (int i = 0; i < size; i++)
+            z[i] = new Complex(r.nextDouble() * 2 - 1, r.nextDouble() * 2 - 1);
+    }
+
+    @Benchmark
+    public Complex addChain() {
+        Complex s = new Complex();
+        for (int i = 0; i < size; i++)
+            s = s.add(z[i]);
+        return s;
+    }
+
+    @Benchmark
+    public void multiply(Blackhole bh) {
+        for (int i = 1; i < size; i++)
+            bh.consume(z[i - 1].multiply(z[i]));
+    }
+
+    @Benchmark
+    public void divide(Blackhole bh) {
+        for (int i = 1; i < size; i++)
+            bh.consume(z[i - 1].divide(z[i]));
+    }
+
+    @Benchmark
+    public void abs(Blackhole bh) {
+        for (int i = 0; i < size; i++)
+            bh.consume(z[i].abs());
+    }
+
+    @Benchmark
+    public void exp(Blackhole bh) {
+        for (int i = 0; i < size; i++)
+            bh.consume(z[i].exp());
+    }
+
+    @Benchmark
+    public void sin(Blackhole bh) {
+        for (int i = 0; i < size; i++)
+            bh.consume(z[i].sin());
+    }
+
+    @Benchmark
+    public void tan(Blackhole bh) {
+        for (int i = 0; i < size; i++)
+            bh.consume(z[i].tan());
+    }
+}
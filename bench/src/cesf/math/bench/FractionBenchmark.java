@@ -0,0 +1,72 @@
+package cesf.math.bench;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import cesf.math.Fraction;
+
+/**
+ * Benchmarks de fraccions.
+ * <p>Mesura cadenes d'operacions de longitud variable. Cada pas torna
+ * al valor inicial perqu&egrave; numerador i denominador no desbordin.</p>
+ * @author Joan
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class FractionBenchmark {
+
+    @Param({ "16", "256" })
+    private int length;
+
+    private Fraction[] terms;
+
+    /**
+     * Crea les fraccions amb una llavor fixa per poder comparar execucions.
+     */
+    @Setup
+    public void setup() {
+        Random r = new Random(42);
+        terms = new Fraction[length];
+        for (int i = 0; i < length; i++)
+            terms[i] = new Fraction(1 + r.nextInt(99), 1 + r.nextInt(99));
+    }
+
+    @Benchmark
+    public Fraction addChain() {
+        Fraction x = new Fraction(1, 3);
+        for (int i = 0; i < length; i++)
+            x = x.add(terms[i]).substract(terms[i]);
+        return x;
+    }
+
+    @Benchmark
+    public Fraction multiplyChain() {
+        Fraction x = new Fraction(1, 3);
+        for (int i = 0; i < length; i++)
+            x = x.multiply(terms[i]).divide(terms[i]);
+        return x;
+    }
+
+    @Benchmark
+    public void equals(Blackhole bh) {
+        for (int i = 1; i < length; i++)
+            bh.consume(terms[i - 1].equals(terms[i]));
+    }
+}
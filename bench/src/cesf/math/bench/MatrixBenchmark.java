@@ -0,0 +1,93 @@
+package cesf.math.bench;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import cesf.math.Matrix;
+
+/**
+ * Benchmarks de matrius.
+ * <p>Mesura multiply, solve i transpose (i els productes transposats)
+ * per a matrius quadrades N x N de diverses mides.</p>
+ * @author Joan
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class MatrixBenchmark {
+
+    @Param({ "8", "32", "128", "256" })
+    private int n;
+
+    private Matrix a;
+    private Matrix b;
+    private Matrix rhs;
+
+    /**
+     * Crea les matrius amb una llavor fixa per poder comparar execucions.
+     */
+    @Setup
+    public void setup() {
+        Random r = new Random(42);
+        double[][] da = new double[n][n];
+        double[][] db = new double[n][n];
+        double[][] dv = new double[n][1];
+        for (int i = 0; i < n; i++) {
+            for (int j = 0; j < n; j++) {
+                da[i][j] = r.nextDouble();
+                db[i][j] = r.nextDouble();
+            }
+            // diagonal dominant: sempre resoluble
+            da[i][i] += n;
+            dv[i][0] = r.nextDouble();
+        }
+        a = new Matrix(da);
+        b = new Matrix(db);
+        rhs = new Matrix(dv);
+    }
+
+    @Benchmark
+    public Matrix multiply() {
+        return a.multiply(b);
+    }
+
+    @Benchmark
+    public Matrix solve() {
+        return a.solve(rhs);
+    }
+
+    @Benchmark
+    public Matrix transpose() {
+        return a.transpose();
+    }
+
+    @Benchmark
+    public Matrix transposeMultiply() {
+        return a.transpose().multiply(b);
+    }
+
+    @Benchmark
+    public Matrix multiplyTransposeA() {
+        return a.multiplyTransposeA(b);
+    }
+
+    @Benchmark
+    public Matrix gram() {
+        return a.gram();
+    }
+}
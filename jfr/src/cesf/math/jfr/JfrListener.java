@@ -0,0 +1,44 @@
+package cesf.math.jfr;
+
+import cesf.math.Metrics;
+
+/**
+ * Publica les operacions de matrius com a esdeveniments JFR.
+ * <p>Cal cridar {@link #install()} una vegada; despr&eacute;s n'hi ha prou
+ * amb engegar un enregistrament (<code>-XX:StartFlightRecording</code> o
+ * <code>jcmd &lt;pid&gt; JFR.start</code>).</p>
+ * @author Joan
+ */
+public class JfrListener implements Metrics.Listener {
+
+    /**
+     * Activa les m&egrave;triques i instal&middot;la el receptor JFR.
+     */
+    public static void install() {
+        Metrics.setListener(new JfrListener());
+        Metrics.enable();
+    }
+
+    @Override
+    public Object begin(Metrics.Op op) {
+        MatrixOperationEvent e = new MatrixOperationEvent();
+        e.begin();
+        return e;
+    }
+
+    @Override
+    public void end(Object token, Metrics.Op op, int rows, int cols, long flops, long bytes,
+            boolean failed) {
+        MatrixOperationEvent e = (MatrixOperationEvent) token;
+        e.end();
+        if (!e.shouldCommit())
+            return;
+        e.operation = op.name();
+        e.rows = rows;
+        e.cols = cols;
+        e.flops = flops;
+        e.bytes = bytes;
+        e.failed = failed;
+        e.commit();
+    }
+}
@@ -0,0 +1,45 @@
+package cesf.math.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Threshold;
+
+/**
+ * Esdeveniment JFR per a una operaci&oacute; de matrius.
+ * <p>Per defecte nom&eacute;s es registren les operacions de m&eacute;s d'1 ms;
+ * el llindar es pot canviar a la configuraci&oacute; de l'enregistrament
+ * (<code>cesf.math.MatrixOperation#threshold</code>).</p>
+ * @author Joan
+ */
+@Name("cesf.math.MatrixOperation")
+@Label("Matrix Operation")
+@Category("CesfMathLib")
+@Description("Long-running Matrix multiply, solve or power")
+@Threshold("1 ms")
+@StackTrace(true)
+public class MatrixOperationEvent extends Event {
+
+    @Label("Operation")
+    String operation;
+
+    @Label("Rows")
+    int rows;
+
+    @Label("Columns")
+    int cols;
+
+    @Label("Estimated Flops")
+    long flops;
+
+    @Label("Estimated Bytes")
+    @DataAmount
+    long bytes;
+
+    @Label("Failed")
+    boolean failed;
+}
@@ -57,12 +57,20 @@ public class Complex {
      * Retorna el m&ogravedul del complex.
      * @return Retorna un double.
      */
-    public double abs()   { return Math.hypot(re, im); }
+    public double abs() {
+        if (Metrics.enabled)
+            Metrics.count(Metrics.Op.COMPLEX_ABS);
+        return Math.hypot(re, im);
+    }
     /**
      * Retorna la fase (angle) del complex.
      * @return Retorna un double.
      */
-    public double phase() { return Math.atan2(im, re); }
+    public double phase() {
+        if (Metrics.enabled)
+            Metrics.count(Metrics.Op.COMPLEX_PHASE);
+        return Math.atan2(im, re);
+    }
 
     /**
      * Suma un segon complex i retorna el resultat.
@@ -70,6 +78,8 @@ public class Complex {
      * @return Retorna un double.
      */
     public Complex add(Complex b) {
+        if (Metrics.enabled)
+            Metrics.count(Metrics.Op.COMPLEX_ADD);
         double real = this.re + b.re;
         double imag = this.im + b.im;
         return new Complex(real, imag);
@@ -81,6 +91,8 @@ public class Complex {
      * @return Retorna un complex.
      */
     public Complex substract(Complex b) {
+        if (Metrics.enabled)
+            Metrics.count(Metrics.Op.COMPLEX_SUBSTRACT);
         double real = this.re - b.re;
         double imag = this.im - b.im;
         return new Complex(real, imag);
@@ -92,6 +104,17 @@ public class Complex {
      * @return Retorna un complex.
      */
     public Complex multiply(Complex b) {
+        if (Metrics.enabled)
+            Metrics.count(Metrics.Op.COMPLEX_MULTIPLY);
+        return times(b);
+    }
+
+    /**
+     * Producte sense comptar a {@link Metrics} (per a divide i tan).
+     * @param b Se li pasa un numero complex.
+     * @return Retorna un complex.
+     */
+    private Complex times(Complex b) {
         double real = this.re * b.re - this.im * b.im;
         double imag = this.re * b.im + this.im * b.re;
         return new Complex(real, imag);
@@ -103,6 +126,8 @@ public class Complex {
      * @return Retorna un complex.
      */
     public Complex multiply(double x) {
+        if (Metrics.enabled)
+            Metrics.count(Metrics.Op.COMPLEX_MULTIPLY);
     	double real = x * this.re;
     	double imag = x * this.im;
         return new Complex(real, imag);
@@ -114,7 +139,9 @@ public class Complex {
      * @return Retorna un complex.
      */
     public Complex divide(Complex b) {
-        return this.multiply(b.reciprocal());
+        if (Metrics.enabled)
+            Metrics.count(Metrics.Op.COMPLEX_DIVIDE);
+        return this.times(b.inverse());
     }
 
     /**
@@ -122,6 +149,8 @@ public class Complex {
      * @return Retorna un complex.
      */
     public Complex conjugate() {
+        if (Metrics.enabled)
+            Metrics.count(Metrics.Op.COMPLEX_CONJUGATE);
     	return new Complex(this.re, -this.im); 
     }
 
@@ -130,6 +159,16 @@ public class Complex {
      * @return Retorna un complex.
      */
     public Complex reciprocal() {
+        if (Metrics.enabled)
+            Metrics.count(Metrics.Op.COMPLEX_RECIPROCAL);
+        return inverse();
+    }
+
+    /**
+     * Rec&iacute;proc sense comptar a {@link Metrics} (per a divide i tan).
+     * @return Retorna un complex.
+     */
+    private Complex inverse() {
         double x = this.re * this.re + this.im * this.im;
         return new Complex(this.re / x, -this.im / x);
     }
@@ -151,6 +190,8 @@ public class Complex {
      * @return Retorna un complex.
      */
     public Complex exp() {
+        if (Metrics.enabled)
+            Metrics.count(Metrics.Op.COMPLEX_EXP);
     	double real = Math.exp(this.re) * Math.cos(this.im);
     	double imag = Math.exp(this.re) * Math.sin(this.im);
         return new Complex(real, imag);
@@ -161,6 +202,16 @@ public class Complex {
      * @return Retorna un complex.
      */
     public Complex sin() {
+        if (Metrics.enabled)
+            Metrics.count(Metrics.Op.COMPLEX_SIN);
+        return sine();
+    }
+
+    /**
+     * Sinus sense comptar a {@link Metrics} (per a tan).
+     * @return Retorna un complex.
+     */
+    private Complex sine() {
     	double real = Math.sin(re) * Math.cosh(im);
     	double imag = Math.cos(re) * Math.sinh(im);
         return new Complex(real, imag);
@@ -171,6 +222,16 @@ public class Complex {
      * @return Retorna un complex.
      */
     public Complex cos() {
+        if (Metrics.enabled)
+            Metrics.count(Metrics.Op.COMPLEX_COS);
+        return cosine();
+    }
+
+    /**
+     * Cosinus sense comptar a {@link Metrics} (per a tan).
+     * @return Retorna un complex.
+     */
+    private Complex cosine() {
     	double real = Math.cos(re) * Math.cosh(im);
     	double imag = -Math.sin(re) * Math.sinh(im);
         return new Complex(real, imag);
@@ -181,7 +242,9 @@ public class Complex {
      * @return Retorna un complex.
      */
     public Complex tan() {
-        return sin().divide(cos());
+        if (Metrics.enabled)
+            Metrics.count(Metrics.Op.COMPLEX_TAN);
+        return sine().times(cosine().inverse());
     }
     
     /**
@@ -191,6 +254,8 @@ public class Complex {
      * @return Retorna un complex.
      */
     public static Complex add(Complex a, Complex b) {
+        if (Metrics.enabled)
+            Metrics.count(Metrics.Op.COMPLEX_ADD);
         double real = a.re + b.re;
         double imag = a.im + b.im;
         return new Complex(real, imag);
@@ -78,6 +78,16 @@ public class Fraction {
 	 * @see Fraction Creaci&oacute; de Fracci&oacute;.
 	 */
 	public Fraction reduce() {
+		if (Metrics.enabled)
+			Metrics.count(Metrics.Op.FRACTION_REDUCE);
+		return simplify();
+	}
+
+	/**
+	 * Simplifica sense comptar a {@link Metrics} (per a la resta d'operacions).
+	 * @return Retorna una fracci&oacute;.
+	 */
+	private Fraction simplify() {
 		int mcd = mcd(this.num, this.den);
 		int n = this.num / mcd;
 		int d = this.den / mcd;
@@ -92,9 +102,11 @@ public class Fraction {
 	 * @see Fraction Creaci&oacute; de Fracci&oacute;.
 	 */
 	public Fraction add(Fraction b) {
+		if (Metrics.enabled)
+			Metrics.count(Metrics.Op.FRACTION_ADD);
 		int n = this.num * b.den + this.den * b.num;
 		int d = this.den * b.den;
-		return new Fraction(n, d).reduce();
+		return new Fraction(n, d).simplify();
 	}
 	
 	/**
@@ -104,9 +116,11 @@ public class Fraction {
 	 * @see Fraction Creaci&oacute; de Fracci&oacute;.
 	 */
 	public Fraction substract(Fraction b) {
+		if (Metrics.enabled)
+			Metrics.count(Metrics.Op.FRACTION_SUBSTRACT);
 		int n = this.num * b.den - this.den * b.num;
 		int d = this.den * b.den;
-		return new Fraction(n, d).reduce();
+		return new Fraction(n, d).simplify();
 	}
 	
 	/**
@@ -116,9 +130,20 @@ public class Fraction {
 	 * @see Fraction Creaci&oacute; de Fracci&oacute;.
 	 */
 	public Fraction multiply(Fraction b) {
+		if (Metrics.enabled)
+			Metrics.count(Metrics.Op.FRACTION_MULTIPLY);
+		return times(b);
+	}
+
+	/**
+	 * Producte sense comptar a {@link Metrics} (per a divide).
+	 * @param b Se li pasa una fracci&oacute;.
+	 * @return Retorna una fracci&oacute;.
+	 */
+	private Fraction times(Fraction b) {
 		int n = this.num * b.num;
 		int d = this.den * b.den;
-		return new Fraction(n, d).reduce();
+		return new Fraction(n, d).simplify();
 	}
 	
 	/**
@@ -128,9 +153,11 @@ public class Fraction {
 	 * @see Fraction Creaci&oacute; de Fracci&oacute;.
 	 */
 	public Fraction multiply(int x) {
+		if (Metrics.enabled)
+			Metrics.count(Metrics.Op.FRACTION_MULTIPLY);
 		int n = this.num * x;
 		int d = this.den;
-		return new Fraction(n, d).reduce();
+		return new Fraction(n, d).simplify();
 	}
 	
 	/**
@@ -140,7 +167,9 @@ public class Fraction {
 	 * @see Fraction Creaci&oacute; de Fracci&oacute;.
 	 */
 	public Fraction divide(Fraction b) {
-		return this.multiply(b.reciprocal());
+		if (Metrics.enabled)
+			Metrics.count(Metrics.Op.FRACTION_DIVIDE);
+		return this.times(b.inverse());
 	}
 
 	/**
@@ -149,7 +178,17 @@ public class Fraction {
 	 * @see Fraction Creaci&oacute; de Fracci&oacute;.
 	 */
 	public Fraction reciprocal() {
-		return new Fraction(this.den, this.num).reduce();
+		if (Metrics.enabled)
+			Metrics.count(Metrics.Op.FRACTION_RECIPROCAL);
+		return inverse();
+	}
+
+	/**
+	 * Rec&iacute;proc sense comptar a {@link Metrics} (per a divide).
+	 * @return Retorna una fracci&oacute;.
+	 */
+	private Fraction inverse() {
+		return new Fraction(this.den, this.num).simplify();
 	}
 	
 	/**
@@ -176,8 +215,8 @@ public class Fraction {
 	 * @see Fraction Creaci&oacute; de Fracci&oacute;.
 	 */
 	public boolean equals(Fraction b) {
-		Fraction f1 = this.reduce();
-		Fraction f2 = b.reduce();
+		Fraction f1 = this.simplify();
+		Fraction f2 = b.simplify();
 		if (f1.num != f2.num) return false;
 		if (f1.den != f2.den) return false; 
 		return true;
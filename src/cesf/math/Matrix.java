@@ -1,5 +1,8 @@
 package cesf.math;
 
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
 /**
  * Classe Matrius nombres reals.
  * <p>Classe immutable per a la representaci&oacute; i manipulaci&oacute; de matrius
@@ -114,10 +117,13 @@ final public class Matrix {
      * @see Matrix Creaci&oacute; de matriu.
      */
     public Matrix transpose() {
+        Metrics.Probe p = Metrics.enabled ? Metrics.start(Metrics.Op.MATRIX_TRANSPOSE) : null;
         Matrix A = new Matrix(N, M);
         for (int i = 0; i < M; i++)
             for (int j = 0; j < N; j++)
                 A.data[j][i] = this.data[i][j];
+        if (p != null)
+            p.stop(N, M, 0, 16L * M * N);
         return A;
     }
 
@@ -131,10 +137,13 @@ final public class Matrix {
         Matrix A = this;
         if (B.M != A.M || B.N != A.N)
         	throw new RuntimeException("Illegal matrix dimensions.");
+        Metrics.Probe p = Metrics.enabled ? Metrics.start(Metrics.Op.MATRIX_ADD) : null;
         Matrix C = new Matrix(M, N);
         for (int i = 0; i < M; i++)
             for (int j = 0; j < N; j++)
                 C.data[i][j] = A.data[i][j] + B.data[i][j];
+        if (p != null)
+            p.stop(M, N, (long) M * N, 24L * M * N);
         return C;
     }
 
@@ -148,10 +157,13 @@ final public class Matrix {
         Matrix A = this;
         if (B.M != A.M || B.N != A.N) 
         	throw new RuntimeException("Illegal matrix dimensions.");
+        Metrics.Probe p = Metrics.enabled ? Metrics.start(Metrics.Op.MATRIX_SUBSTRACT) : null;
         Matrix C = new Matrix(M, N);
         for (int i = 0; i < M; i++)
             for (int j = 0; j < N; j++)
                 C.data[i][j] = A.data[i][j] - B.data[i][j];
+        if (p != null)
+            p.stop(M, N, (long) M * N, 24L * M * N);
         return C;
     }
 
@@ -182,14 +194,345 @@ final public class Matrix {
         Matrix A = this;
         if (A.N != B.M) 
         	throw new RuntimeException("Illegal matrix dimensions.");
+        Metrics.Probe p = Metrics.enabled ? Metrics.start(Metrics.Op.MATRIX_MULTIPLY) : null;
         Matrix C = new Matrix(A.M, B.N);
         for (int i = 0; i < C.M; i++)
             for (int j = 0; j < C.N; j++)
                 for (int k = 0; k < A.N; k++)
                     C.data[i][j] += (A.data[i][k] * B.data[k][j]);
+        if (p != null)
+            p.stop(C.M, C.N, 2L * A.M * A.N * B.N,
+                    8L * ((long) A.M * A.N + (long) B.M * B.N + (long) C.M * C.N));
+        return C;
+    }
+
+    /**
+     * Retorna A<sup>k</sup> per quadrats successius.
+     * <p>Fa O(log k) productes i reutilitza tres matrius de treball,
+     * sense reservar mem&ograveria a cada pas.</p>
+     * @param k Se li pasa un long (k &gt;= 0).
+     * @return Retorna una Matriu.
+     * @see Matrix Creaci&oacute; de matriu.
+     */
+    public Matrix pow(long k) {
+        if (M != N)
+            throw new RuntimeException("Illegal matrix dimensions.");
+        if (k < 0)
+            throw new IllegalArgumentException("Exponent can not be negative!");
+        Metrics.Probe p = Metrics.enabled ? Metrics.start(Metrics.Op.MATRIX_POW) : null;
+        if (k == 0) {
+            if (p != null)
+                p.stop(N, N, 0, 8L * N * N);
+            return identity(N);
+        }
+        long products = 0;
+        Matrix P = new Matrix(this);
+        Matrix T = new Matrix(N, N);
+        // saltar els zeros baixos de k: P = A^(2^z)
+        while ((k & 1) == 0) {
+            multiplyInto(P, P, T);
+            products++;
+            Matrix s = P; P = T; T = s;
+            k >>>= 1;
+        }
+        Matrix R = new Matrix(P);
+        k >>>= 1;
+        while (k > 0) {
+            multiplyInto(P, P, T);
+            products++;
+            Matrix s = P; P = T; T = s;
+            if ((k & 1) != 0) {
+                multiplyInto(R, P, T);
+                products++;
+                s = R; R = T; T = s;
+            }
+            k >>>= 1;
+        }
+        if (p != null)
+            p.stop(N, N, products * 2L * N * N * N, products * 24L * N * N);
+        return R;
+    }
+
+    /**
+     * Retorna x = A<sup>k</sup> * v sense formar A<sup>k</sup> si no cal.
+     * <p>La matriu subministrada ha de ser d'una sola columna. Si k
+     * &eacute;s petit respecte a N aplica A k vegades al vector (k*N&sup2;
+     * operacions); si no, calcula la pot&egrave;ncia per quadrats
+     * (uns 2*log2(k)*N&sup3; operacions) i la multiplica pel vector.</p>
+     * @param v Se li pasa una Matriu.
+     * @param k Se li pasa un long (k &gt;= 0).
+     * @return Retorna una Matriu.
+     * @see Matrix Creaci&oacute; de matriu.
+     */
+    public Matrix powApply(Matrix v, long k) {
+        if (M != N || v.M != N || v.N != 1)
+            throw new RuntimeException("Illegal matrix dimensions.");
+        if (k < 0)
+            throw new IllegalArgumentException("Exponent can not be negative!");
+        Metrics.Probe p = Metrics.enabled ? Metrics.start(Metrics.Op.MATRIX_POW_APPLY) : null;
+        int log2k = 64 - Long.numberOfLeadingZeros(k);
+        if (k > 2L * log2k * N) {
+            // flops i bytes ja comptats per pow i multiply
+            Matrix r = pow(k).multiply(v);
+            if (p != null)
+                p.stop(N, 1, 0, 0);
+            return r;
+        }
+        double[] x = new double[N];
+        double[] y = new double[N];
+        for (int i = 0; i < N; i++)
+            x[i] = v.data[i][0];
+        for (long step = 0; step < k; step++) {
+            for (int i = 0; i < N; i++)
+                y[i] = dot(data[i], x, N);
+            double[] s = x; x = y; y = s;
+        }
+        Matrix r = new Matrix(N, 1);
+        for (int i = 0; i < N; i++)
+            r.data[i][0] = x[i];
+        if (p != null)
+            p.stop(N, 1, k * 2L * N * N, k * 8L * ((long) N * N + 2 * N));
+        return r;
+    }
+
+    /**
+     * Calcula C = A * B sobre una matriu C ja reservada.
+     * <p>Suma en el mateix ordre que {@link #multiply}, i per tant dona el
+     * mateix resultat. C no pot ser la mateixa matriu que A o B.</p>
+     * @param A Se li pasa una Matriu.
+     * @param B Se li pasa una Matriu.
+     * @param C Se li pasa una Matriu.
+     */
+    private static void multiplyInto(Matrix A, Matrix B, Matrix C) {
+        for (int i = 0; i < A.M; i++) {
+            double[] a = A.data[i];
+            double[] c = C.data[i];
+            for (int j = 0; j < B.N; j++)
+                c[j] = 0.0;
+            for (int k = 0; k < A.N; k++) {
+                double aik = a[k];
+                double[] b = B.data[k];
+                for (int j = 0; j < B.N; j++)
+                    c[j] += aik * b[j];
+            }
+        }
+    }
+
+    /**
+     * Mida dels blocs (en columnes) per als productes transposats.
+     */
+    private static final int BLOCK = 64;
+
+    /**
+     * Cost (flops) a partir del qual els productes transposats fan servir diversos fils.
+     */
+    private static final long PARALLEL_FLOPS = 1L << 24;
+
+    /**
+     * Retorna C = A<sup>T</sup> * B sense construir la transposada.
+     * <p>Recorre les files de A i B en el seu ordre natural.</p>
+     * @param B Se li pasa una Matriu.
+     * @return Retorna una Matriu.
+     * @see Matrix Creaci&oacute; de matriu.
+     */
+    public Matrix multiplyTransposeA(Matrix B) {
+        Matrix A = this;
+        if (A.M != B.M)
+        	throw new RuntimeException("Illegal matrix dimensions.");
+        Metrics.Probe p = Metrics.enabled ? Metrics.start(Metrics.Op.MATRIX_MULTIPLY_TRANSPOSE_A) : null;
+        Matrix C = new Matrix(A.N, B.N);
+        forEachRowBlock(C.M, 2L * A.M * A.N * B.N, (from, to) -> {
+            for (int i = 0; i < A.M; i++) {
+                double[] a = A.data[i];
+                double[] b = B.data[i];
+                for (int j = from; j < to; j++) {
+                    double aij = a[j];
+                    double[] c = C.data[j];
+                    for (int k = 0; k < B.N; k++)
+                        c[k] += aij * b[k];
+                }
+            }
+        });
+        if (p != null)
+            p.stop(C.M, C.N, 2L * A.M * A.N * B.N,
+                    8L * ((long) A.M * A.N + (long) B.M * B.N + (long) C.M * C.N));
         return C;
     }
 
+    /**
+     * Retorna C = A * B<sup>T</sup> sense construir la transposada.
+     * <p>Cada element &eacute;s el producte escalar de dues files.</p>
+     * @param B Se li pasa una Matriu.
+     * @return Retorna una Matriu.
+     * @see Matrix Creaci&oacute; de matriu.
+     */
+    public Matrix multiplyTransposeB(Matrix B) {
+        Matrix A = this;
+        if (A.N != B.N)
+        	throw new RuntimeException("Illegal matrix dimensions.");
+        Metrics.Probe p = Metrics.enabled ? Metrics.start(Metrics.Op.MATRIX_MULTIPLY_TRANSPOSE_B) : null;
+        Matrix C = new Matrix(A.M, B.M);
+        forEachRowBlock(C.M, 2L * A.M * A.N * B.M, (from, to) -> {
+            for (int jb = 0; jb < B.M; jb += BLOCK) {
+                int jMax = Math.min(jb + BLOCK, B.M);
+                for (int i = from; i < to; i++) {
+                    double[] a = A.data[i];
+                    double[] c = C.data[i];
+                    for (int j = jb; j < jMax; j++)
+                        c[j] = dot(a, B.data[j], A.N);
+                }
+            }
+        });
+        if (p != null)
+            p.stop(C.M, C.N, 2L * A.M * A.N * B.M,
+                    8L * ((long) A.M * A.N + (long) B.M * B.N + (long) C.M * C.N));
+        return C;
+    }
+
+    /**
+     * Retorna la matriu de Gram G = A<sup>T</sup> * A (N x N).
+     * <p>Nom&eacute;s calcula el triangle superior i el copia a l'inferior,
+     * ja que el resultat &eacute;s sim&egrave;tric.</p>
+     * @return Retorna una Matriu.
+     * @see Matrix Creaci&oacute; de matriu.
+     */
+    public Matrix gram() {
+        Metrics.Probe p = Metrics.enabled ? Metrics.start(Metrics.Op.MATRIX_GRAM) : null;
+        Matrix G = new Matrix(N, N);
+        forEachRowBlock(N, (long) M * N * (N + 1), (from, to) -> {
+            for (int kb = from; kb < N; kb += BLOCK) {
+                int kMax = Math.min(kb + BLOCK, N);
+                for (int i = 0; i < M; i++) {
+                    double[] a = data[i];
+                    for (int j = from; j < to; j++) {
+                        double aij = a[j];
+                        double[] g = G.data[j];
+                        for (int k = Math.max(j, kb); k < kMax; k++)
+                            g[k] += aij * a[k];
+                    }
+                }
+            }
+        });
+        G.mirrorUpper();
+        if (p != null)
+            p.stop(N, N, (long) M * N * (N + 1), 8L * ((long) M * N + (long) N * N));
+        return G;
+    }
+
+    /**
+     * Retorna la matriu de Gram per files G = A * A<sup>T</sup> (M x M).
+     * <p>Nom&eacute;s calcula el triangle superior i el copia a l'inferior,
+     * ja que el resultat &eacute;s sim&egrave;tric.</p>
+     * @return Retorna una Matriu.
+     * @see Matrix Creaci&oacute; de matriu.
+     */
+    public Matrix gramTranspose() {
+        Metrics.Probe p = Metrics.enabled ? Metrics.start(Metrics.Op.MATRIX_GRAM_TRANSPOSE) : null;
+        Matrix G = new Matrix(M, M);
+        forEachRowBlock(M, (long) N * M * (M + 1), (from, to) -> {
+            for (int jb = from; jb < M; jb += BLOCK) {
+                int jMax = Math.min(jb + BLOCK, M);
+                for (int i = from; i < to; i++) {
+                    double[] a = data[i];
+                    double[] g = G.data[i];
+                    for (int j = Math.max(i, jb); j < jMax; j++)
+                        g[j] = dot(a, data[j], N);
+                }
+            }
+        });
+        G.mirrorUpper();
+        if (p != null)
+            p.stop(M, M, (long) N * M * (M + 1), 8L * ((long) M * N + (long) M * M));
+        return G;
+    }
+
+    /**
+     * Treball sobre les files [from, to) d'un resultat.
+     */
+    private interface RowBlock {
+        void run(int from, int to);
+    }
+
+    /**
+     * Executa body per blocs de BLOCK files del resultat.
+     * <p>Si l'operaci&oacute; supera PARALLEL_FLOPS, els blocs es reparteixen al
+     * ForkJoinPool com&uacute;. Cada bloc escriu files diferents i suma en el
+     * mateix ordre, per tant el resultat no dep&egrave;n del nombre de fils.</p>
+     * @param rows Se li pasa el nombre de files del resultat.
+     * @param flops Se li pasa el cost estimat de l'operaci&oacute;.
+     * @param body Se li pasa el treball d'un bloc.
+     */
+    private static void forEachRowBlock(int rows, long flops, RowBlock body) {
+        if (flops < PARALLEL_FLOPS || rows <= BLOCK || ForkJoinPool.getCommonPoolParallelism() < 2) {
+            for (int b = 0; b < rows; b += BLOCK)
+                body.run(b, Math.min(b + BLOCK, rows));
+            return;
+        }
+        ForkJoinPool.commonPool().invoke(new RowBlockAction(body, 0, rows));
+    }
+
+    /**
+     * Divideix un rang de files en meitats (alineades a BLOCK) fins a un bloc.
+     */
+    private static final class RowBlockAction extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+        private final RowBlock body;
+        private final int from;
+        private final int to;
+
+        RowBlockAction(RowBlock body, int from, int to) {
+            this.body = body;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= BLOCK) {
+                body.run(from, to);
+                return;
+            }
+            int blocks = (to - from + BLOCK - 1) / BLOCK;
+            int mid = from + blocks / 2 * BLOCK;
+            invokeAll(new RowBlockAction(body, from, mid), new RowBlockAction(body, mid, to));
+        }
+    }
+
+    /**
+     * Producte escalar dels n primers elements de dos vectors.
+     * @param a Se li pasa un vector.
+     * @param b Se li pasa un vector.
+     * @param n Se li pasa un int.
+     * @return Retorna un double.
+     */
+    private static double dot(double[] a, double[] b, int n) {
+        double s = 0.0;
+        for (int k = 0; k < n; k++)
+            s += a[k] * b[k];
+        return s;
+    }
+
+    /**
+     * Retorna el valor absolut m&eacute;s gran de la matriu.
+     * @return Retorna un double.
+     */
+    private double maxAbs() {
+        double max = 0.0;
+        for (int i = 0; i < M; i++)
+            for (int j = 0; j < N; j++)
+                max = Math.max(max, Math.abs(data[i][j]));
+        return max;
+    }
+
+    /**
+     * Copia el triangle superior sobre l'inferior (matriu quadrada).
+     */
+    private void mirrorUpper() {
+        for (int i = 1; i < M; i++)
+            for (int j = 0; j < i; j++)
+                data[i][j] = data[j][i];
+    }
+
     /**
      * Retorna x = A^-1*b (soluciona el sistema).
      * <p>La matriu subministrada ha de ser d'una sola columna
@@ -203,6 +546,7 @@ final public class Matrix {
     public Matrix solve(Matrix rhs) {
         if (M != N || rhs.M != N || rhs.N != 1)
             throw new RuntimeException("Illegal matrix dimensions.");
+        Metrics.Probe p = Metrics.enabled ? Metrics.start(Metrics.Op.MATRIX_SOLVE) : null;
         // crear còpies de les dades
         Matrix A = new Matrix(this);
         Matrix b = new Matrix(rhs);
@@ -216,8 +560,11 @@ final public class Matrix {
             A.swapRows(i, max);
             b.swapRows(i, max);
             // singular
-            if (A.data[i][i] == 0.0) 
+            if (A.data[i][i] == 0.0) {
+                if (p != null)
+                    p.fail(N, N);
             	throw new RuntimeException("Matrix is singular.");
+            }
             // pivotar amb b
             for (int j = i + 1; j < N; j++)
                 b.data[j][0] -= b.data[i][0] * A.data[j][i] / A.data[i][i];
@@ -238,6 +585,17 @@ final public class Matrix {
                 t += A.data[j][k] * x.data[k][0];
             x.data[j][0] = (b.data[j][0] - t) / A.data[j][j];
         }
+        if (p != null) {
+            // A conté ara U (zeros sota la diagonal)
+            double minPivot = Double.POSITIVE_INFINITY, maxPivot = 0.0;
+            for (int i = 0; i < N; i++) {
+                double d = Math.abs(A.data[i][i]);
+                minPivot = Math.min(minPivot, d);
+                maxPivot = Math.max(maxPivot, d);
+            }
+            Metrics.solveWarnings(A.maxAbs() / this.maxAbs(), maxPivot / minPivot);
+            p.stop(N, 1, 2L * N * N * N / 3 + 2L * N * N, 8L * (2L * N * N + 3 * N));
+        }
         return x;
     }
 
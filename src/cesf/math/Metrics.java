@@ -0,0 +1,334 @@
+package cesf.math;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * M&egrave;triques d'&uacute;s de la llibreria.
+ * <p>Classe opcional (desactivada per defecte) que compta les crides a les
+ * operacions de {@link Matrix}, {@link Complex} i {@link Fraction}. Per a les
+ * operacions de matrius tamb&eacute; acumula el temps, una estimaci&oacute; de flops
+ * i bytes moguts, un histograma de mides i els avisos de <code>solve</code>
+ * (creixement dels pivots i mal condicionament).</p>
+ * <p>Mentre est&agrave; desactivada, cada operaci&oacute; nom&eacute;s llegeix un boole&agrave;.
+ * Les dades es consulten amb {@link #snapshot()}.</p>
+ * <p>Es compten totes les operacions aritm&egrave;tiques p&uacute;bliques (vegeu {@link Op}).
+ * No es compten els constructors, <code>Matrix.random</code>/<code>identity</code>,
+ * <code>swapRows</code>/<code>swapColumns</code>, els getters, <code>valueOf</code>,
+ * <code>equals</code> ni <code>toString</code>. Per a Complex i Fraction nom&eacute;s es
+ * compta la crida p&uacute;blica (p. ex. <code>tan</code> no compta el <code>sin</code>,
+ * <code>cos</code> ni <code>divide</code> que fa servir).</p>
+ * @author Joan
+ */
+public final class Metrics {
+
+    /**
+     * Operacions instrumentades.
+     */
+    public enum Op {
+        MATRIX_ADD, MATRIX_SUBSTRACT,
+        MATRIX_MULTIPLY, MATRIX_MULTIPLY_TRANSPOSE_A, MATRIX_MULTIPLY_TRANSPOSE_B,
+        MATRIX_GRAM, MATRIX_GRAM_TRANSPOSE, MATRIX_TRANSPOSE, MATRIX_SOLVE,
+        MATRIX_POW, MATRIX_POW_APPLY,
+        COMPLEX_ADD, COMPLEX_SUBSTRACT, COMPLEX_MULTIPLY, COMPLEX_DIVIDE,
+        COMPLEX_CONJUGATE, COMPLEX_RECIPROCAL, COMPLEX_ABS, COMPLEX_PHASE,
+        COMPLEX_EXP, COMPLEX_SIN, COMPLEX_COS, COMPLEX_TAN,
+        FRACTION_ADD, FRACTION_SUBSTRACT, FRACTION_MULTIPLY, FRACTION_DIVIDE,
+        FRACTION_RECIPROCAL, FRACTION_REDUCE
+    }
+
+    /**
+     * Receptor de les operacions de matrius cronometrades (p. ex. esdeveniments JFR).
+     * <p>{@link #begin} es crida abans de l'operaci&oacute; i el seu resultat es
+     * passa a {@link #end} quan acaba.</p>
+     */
+    public interface Listener {
+        Object begin(Op op);
+        void end(Object token, Op op, int rows, int cols, long flops, long bytes, boolean failed);
+    }
+
+    /**
+     * Creixement dels pivots (max|U| / max|A|) a partir del qual <code>solve</code> avisa.
+     */
+    public static final double PIVOT_GROWTH_LIMIT = 1e4;
+    /**
+     * Quocient entre el pivot m&eacute;s gran i el m&eacute;s petit a partir del qual
+     * <code>solve</code> considera la matriu mal condicionada.
+     */
+    public static final double CONDITION_LIMIT = 1e12;
+    /**
+     * Nombre de cubetes de l'histograma de mides (potencies de 2).
+     */
+    public static final int HISTOGRAM_BUCKETS = 32;
+
+    static volatile boolean enabled;
+    private static volatile Listener listener;
+
+    private static final Op[] OPS = Op.values();
+    private static final OpStats[] STATS = new OpStats[OPS.length];
+    private static final LongAdder PIVOT_GROWTH_WARNINGS = new LongAdder();
+    private static final LongAdder CONDITION_WARNINGS = new LongAdder();
+
+    static {
+        for (int i = 0; i < OPS.length; i++)
+            STATS[i] = new OpStats();
+    }
+
+    private Metrics() {
+    }
+
+    /**
+     * Activa la recollida de m&egrave;triques.
+     */
+    public static void enable() { enabled = true; }
+
+    /**
+     * Desactiva la recollida de m&egrave;triques (les dades es conserven).
+     */
+    public static void disable() { enabled = false; }
+
+    /**
+     * Indica si la recollida de m&egrave;triques est&agrave; activa.
+     * @return Retorna un boolean.
+     */
+    public static boolean isEnabled() { return enabled; }
+
+    /**
+     * Instal&middot;la (o treu, amb null) el receptor d'operacions de matrius.
+     * @param l Se li pasa un Listener.
+     */
+    public static void setListener(Listener l) { listener = l; }
+
+    /**
+     * Posa a zero tots els comptadors.
+     */
+    public static void reset() {
+        for (OpStats s : STATS)
+            s.reset();
+        PIVOT_GROWTH_WARNINGS.reset();
+        CONDITION_WARNINGS.reset();
+    }
+
+    /**
+     * Retorna una c&ograve;pia de l'estat actual dels comptadors.
+     * @return Retorna un Snapshot.
+     */
+    public static Snapshot snapshot() {
+        OpSnapshot[] ops = new OpSnapshot[OPS.length];
+        for (int i = 0; i < OPS.length; i++)
+            ops[i] = STATS[i].snapshot(OPS[i]);
+        return new Snapshot(ops, PIVOT_GROWTH_WARNINGS.sum(), CONDITION_WARNINGS.sum());
+    }
+
+    /**
+     * Compta una crida (operacions de Complex i Fraction).
+     * @param op Se li pasa una operaci&oacute;.
+     */
+    static void count(Op op) {
+        STATS[op.ordinal()].count.increment();
+    }
+
+    /**
+     * Comen&ccedil;a a cronometrar una operaci&oacute; de matrius.
+     * @param op Se li pasa una operaci&oacute;.
+     * @return Retorna un Probe.
+     */
+    static Probe start(Op op) {
+        Listener l = listener;
+        return new Probe(op, l, l != null ? l.begin(op) : null);
+    }
+
+    /**
+     * Registra els avisos de <code>solve</code>.
+     * @param growth Se li pasa el creixement dels pivots.
+     * @param pivotRatio Se li pasa el quocient entre pivots.
+     */
+    static void solveWarnings(double growth, double pivotRatio) {
+        if (growth > PIVOT_GROWTH_LIMIT)
+            PIVOT_GROWTH_WARNINGS.increment();
+        if (pivotRatio > CONDITION_LIMIT)
+            CONDITION_WARNINGS.increment();
+    }
+
+    /**
+     * Cronometratge d'una sola operaci&oacute; de matrius.
+     */
+    static final class Probe {
+        private final Op op;
+        private final Listener listener;
+        private final Object token;
+        private final long t0;
+
+        Probe(Op op, Listener listener, Object token) {
+            this.op = op;
+            this.listener = listener;
+            this.token = token;
+            this.t0 = System.nanoTime();
+        }
+
+        /**
+         * Acaba l'operaci&oacute; amb &egrave;xit.
+         */
+        void stop(int rows, int cols, long flops, long bytes) {
+            record(rows, cols, flops, bytes, false);
+        }
+
+        /**
+         * Acaba l'operaci&oacute; amb error (p. ex. matriu singular).
+         */
+        void fail(int rows, int cols) {
+            record(rows, cols, 0, 0, true);
+        }
+
+        private void record(int rows, int cols, long flops, long bytes, boolean failed) {
+            long nanos = System.nanoTime() - t0;
+            STATS[op.ordinal()].record(Math.max(rows, cols), nanos, flops, bytes, failed);
+            if (listener != null)
+                listener.end(token, op, rows, cols, flops, bytes, failed);
+        }
+    }
+
+    /**
+     * Comptadors d'una operaci&oacute;.
+     * <p>Tots s&oacute;n LongAdder, aix&iacute; els fils que criden alhora no es disputen
+     * la mateixa cel&middot;la ni tan sols per a matrius petites.</p>
+     */
+    private static final class OpStats {
+        final LongAdder count = new LongAdder();
+        final LongAdder failures = new LongAdder();
+        final LongAdder nanos = new LongAdder();
+        final LongAdder flops = new LongAdder();
+        final LongAdder bytes = new LongAdder();
+        final LongAdder[] sizes = new LongAdder[HISTOGRAM_BUCKETS];
+
+        OpStats() {
+            for (int i = 0; i < HISTOGRAM_BUCKETS; i++)
+                sizes[i] = new LongAdder();
+        }
+
+        void record(int size, long t, long f, long b, boolean failed) {
+            count.increment();
+            if (failed)
+                failures.increment();
+            nanos.add(t);
+            flops.add(f);
+            bytes.add(b);
+            sizes[bucket(size)].increment();
+        }
+
+        void reset() {
+            count.reset();
+            failures.reset();
+            nanos.reset();
+            flops.reset();
+            bytes.reset();
+            for (LongAdder h : sizes)
+                h.reset();
+        }
+
+        OpSnapshot snapshot(Op op) {
+            long[] h = new long[HISTOGRAM_BUCKETS];
+            for (int i = 0; i < HISTOGRAM_BUCKETS; i++)
+                h[i] = sizes[i].sum();
+            return new OpSnapshot(op, count.sum(), failures.sum(), nanos.sum(),
+                    flops.sum(), bytes.sum(), h);
+        }
+    }
+
+    /**
+     * Cubeta de l'histograma: i tal que 2^(i-1) &lt; size &lt;= 2^i.
+     * @param size Se li pasa un int.
+     * @return Retorna un int.
+     */
+    static int bucket(int size) {
+        if (size <= 1)
+            return 0;
+        return Math.min(32 - Integer.numberOfLeadingZeros(size - 1), HISTOGRAM_BUCKETS - 1);
+    }
+
+    /**
+     * Estat d'una operaci&oacute; en el moment de {@link Metrics#snapshot()}.
+     */
+    public static final class OpSnapshot {
+        private final Op op;
+        private final long count;
+        private final long failures;
+        private final long nanos;
+        private final long flops;
+        private final long bytes;
+        private final long[] sizeHistogram;
+
+        OpSnapshot(Op op, long count, long failures, long nanos, long flops, long bytes,
+                long[] sizeHistogram) {
+            this.op = op;
+            this.count = count;
+            this.failures = failures;
+            this.nanos = nanos;
+            this.flops = flops;
+            this.bytes = bytes;
+            this.sizeHistogram = sizeHistogram;
+        }
+
+        public Op getOp() { return op; }
+        /** Nombre de crides. */
+        public long getCount() { return count; }
+        /** Crides acabades amb error (p. ex. "Matrix is singular."). */
+        public long getFailures() { return failures; }
+        /** Temps total en nanosegons (nom&eacute;s matrius). */
+        public long getNanos() { return nanos; }
+        /** Operacions de coma flotant estimades (nom&eacute;s matrius). */
+        public long getFlops() { return flops; }
+        /** Bytes llegits i escrits estimats (nom&eacute;s matrius). */
+        public long getBytes() { return bytes; }
+        /**
+         * Histograma de mides: la posici&oacute; i compta les crides amb
+         * dimensi&oacute; m&eacute;s gran entre 2^(i-1)+1 i 2^i.
+         * @return Retorna una c&ograve;pia de l'histograma.
+         */
+        public long[] getSizeHistogram() { return sizeHistogram.clone(); }
+    }
+
+    /**
+     * C&ograve;pia immutable de totes les m&egrave;triques.
+     */
+    public static final class Snapshot {
+        private final OpSnapshot[] ops;
+        private final long pivotGrowthWarnings;
+        private final long conditionWarnings;
+
+        Snapshot(OpSnapshot[] ops, long pivotGrowthWarnings, long conditionWarnings) {
+            this.ops = ops;
+            this.pivotGrowthWarnings = pivotGrowthWarnings;
+            this.conditionWarnings = conditionWarnings;
+        }
+
+        /**
+         * Retorna l'estat d'una operaci&oacute;.
+         * @param op Se li pasa una operaci&oacute;.
+         * @return Retorna un OpSnapshot.
+         */
+        public OpSnapshot get(Op op) { return ops[op.ordinal()]; }
+        /** Crides a solve amb creixement dels pivots per sobre de {@link Metrics#PIVOT_GROWTH_LIMIT}. */
+        public long getPivotGrowthWarnings() { return pivotGrowthWarnings; }
+        /** Crides a solve amb quocient de pivots per sobre de {@link Metrics#CONDITION_LIMIT}. */
+        public long getConditionWarnings() { return conditionWarnings; }
+
+        /**
+         * Retorna una taula amb les operacions que s'han cridat.
+         * @return Retorna un String.
+         */
+        public String toString() {
+            StringBuilder res = new StringBuilder();
+            res.append(String.format("%-28s %10s %8s %12s %14s %14s%n",
+                    "operation", "count", "failed", "ms", "Mflops", "MB"));
+            for (OpSnapshot s : ops) {
+                if (s.count == 0)
+                    continue;
+                res.append(String.format("%-28s %10d %8d %12.3f %14.3f %14.3f%n",
+                        s.op, s.count, s.failures, s.nanos / 1e6, s.flops / 1e6, s.bytes / 1e6));
+            }
+            res.append("pivot growth warnings: ").append(pivotGrowthWarnings).append('\n');
+            res.append("condition warnings:    ").append(conditionWarnings).append('\n');
+            return res.toString();
+        }
+    }
+}
@@ -33,6 +33,20 @@ public class TestMatrix {
         System.out.println(B.multiply(A));
         System.out.println();
 
+        // A^T * A i A * A^T sense transposar
+        System.out.println(A.gram().equals(B.multiply(A)));
+        System.out.println(A.gramTranspose().equals(A.multiply(B)));
+        System.out.println(A.multiplyTransposeA(C));
+        System.out.println(A.multiplyTransposeB(C));
+        System.out.println();
+
+        // A^5 per quadrats i aplicada a un vector
+        System.out.println(A.pow(5));
+        System.out.println(A.multiply(A).multiply(A).multiply(A).multiply(A));
+        double[][] u = { {1}, {0}, {0}, {0}, {0} };
+        System.out.println(A.powApply(new Matrix(u), 5));
+        System.out.println();
+
         // hauria de ser fals: A*B != B*A en general    
         System.out.println(A.multiply(B).equals(B.multiply(A)));
         System.out.println();
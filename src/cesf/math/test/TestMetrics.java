@@ -0,0 +1,54 @@
+package cesf.math.test;
+
+import cesf.math.Complex;
+import cesf.math.Fraction;
+import cesf.math.Matrix;
+import cesf.math.Metrics;
+
+public class TestMetrics {
+
+    // programa de prova per a les mètriques
+    public static void main(String[] args) {
+        Metrics.enable();
+
+        Matrix A = Matrix.random(64, 64);
+        Matrix B = Matrix.random(64, 64);
+        A.multiply(B);
+        A.gram();
+        A.transpose();
+        A.pow(10);
+
+        double[][] e = { {1, 1, 1}, {2, 1, -1}, {1, 2, 3} };
+        double[][] f = { {-2}, {1}, {-6} };
+        new Matrix(e).solve(new Matrix(f));
+
+        // hauria de fallar: matriu singular
+        double[][] s = { {1, 2}, {2, 4} };
+        double[][] t = { {1}, {2} };
+        try {
+            new Matrix(s).solve(new Matrix(t));
+        } catch (RuntimeException ex) {
+            System.out.println(ex.getMessage());
+        }
+
+        // hauria d'avisar: pivots de mides molt diferents
+        double[][] g = { {1, 0}, {0, 1e-13} };
+        new Matrix(g).solve(new Matrix(t));
+
+        Complex a = new Complex(5.0, 6.0);
+        Complex b = new Complex(-3.0, 4.0);
+        a.divide(b).tan();
+
+        Fraction x = new Fraction(1, 3);
+        x.add(new Fraction(1, 6)).multiply(2);
+
+        Metrics.Snapshot snap = Metrics.snapshot();
+        System.out.println(snap);
+        System.out.println(java.util.Arrays.toString(
+                snap.get(Metrics.Op.MATRIX_MULTIPLY).getSizeHistogram()));
+
+        Metrics.disable();
+        Metrics.reset();
+        System.out.println(Metrics.snapshot());
+    }
+}